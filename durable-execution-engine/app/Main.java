@@ -128,7 +128,7 @@ public class Main {
                 String stepKeyPrefix = stepId + "-";
 
                 StepStatus previousStatus =
-                        findLatestStepStatus(workflowId, stepKeyPrefix);
+                        findLatestStepStatus(workflowId, getEpoch(), stepKeyPrefix);
 
                 // ---------- CLI narration ----------
                 if (previousStatus == StepStatus.COMPLETED) {
@@ -181,18 +181,34 @@ public class Main {
             return;
         }
 
+        // Opening the store migrates databases created before epochs existed
+        try (SqliteDurableStore ignored = new SqliteDurableStore()) {
+            // schema migrated on open
+        }
+
         System.out.println("\n📊 Workflow State (from SQLite)");
         System.out.println("--------------------------------");
 
         try (Connection conn = DriverManager.getConnection("jdbc:sqlite:engine.db");
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(
-                     "SELECT step_key, status FROM steps ORDER BY step_key")) {
+             Statement stmt = conn.createStatement()) {
+
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT epoch, step_key, status FROM steps ORDER BY epoch, step_key")) {
+                while (rs.next()) {
+                    System.out.printf("• [epoch %d] %-25s : %s%n",
+                            rs.getInt("epoch"),
+                            rs.getString("step_key"),
+                            rs.getString("status"));
+                }
+            }
 
-            while (rs.next()) {
-                System.out.printf("• %-25s : %s%n",
-                        rs.getString("step_key"),
-                        rs.getString("status"));
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT epoch, base_sequence FROM checkpoints ORDER BY epoch")) {
+                while (rs.next()) {
+                    System.out.printf("• [epoch %d] checkpoint after sequence %d%n",
+                            rs.getInt("epoch"),
+                            rs.getInt("base_sequence"));
+                }
             }
         } catch (Exception e) {
             System.out.println("❌ Failed to read DB");
@@ -205,6 +221,7 @@ public class Main {
 
     private static StepStatus findLatestStepStatus(
             String workflowId,
+            int epoch,
             String stepKeyPrefix) {
 
         try (Connection conn = DriverManager.getConnection("jdbc:sqlite:engine.db");
@@ -212,6 +229,7 @@ public class Main {
              ResultSet rs = stmt.executeQuery(
                      "SELECT status FROM steps " +
                      "WHERE workflow_id = '" + workflowId + "' " +
+                     "AND epoch = " + epoch + " " +
                      "AND step_key LIKE '" + stepKeyPrefix + "%' " +
                      "ORDER BY step_key DESC LIMIT 1")) {
 
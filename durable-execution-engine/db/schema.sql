@@ -3,5 +3,16 @@ CREATE TABLE IF NOT EXISTS steps (
   step_key TEXT NOT NULL,
   status TEXT NOT NULL,
   output TEXT,
+  epoch INTEGER NOT NULL DEFAULT 0,
   PRIMARY KEY (workflow_id, step_key)
 );
+
+CREATE INDEX IF NOT EXISTS idx_steps_epoch ON steps (workflow_id, epoch);
+
+CREATE TABLE IF NOT EXISTS checkpoints (
+  workflow_id TEXT NOT NULL,
+  epoch INTEGER NOT NULL,
+  base_sequence INTEGER NOT NULL,
+  state TEXT,
+  PRIMARY KEY (workflow_id, epoch)
+);
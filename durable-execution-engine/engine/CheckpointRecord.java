@@ -0,0 +1,35 @@
+package engine;
+
+public class CheckpointRecord {
+
+    private final String workflowId;
+    private final int epoch;
+    private final int baseSequence; // last sequence issued before the checkpoint
+    private final String state; // JSON string (nullable)
+
+    public CheckpointRecord(String workflowId,
+                            int epoch,
+                            int baseSequence,
+                            String state) {
+        this.workflowId = workflowId;
+        this.epoch = epoch;
+        this.baseSequence = baseSequence;
+        this.state = state;
+    }
+
+    public String getWorkflowId() {
+        return workflowId;
+    }
+
+    public int getEpoch() {
+        return epoch;
+    }
+
+    public int getBaseSequence() {
+        return baseSequence;
+    }
+
+    public String getState() {
+        return state;
+    }
+}
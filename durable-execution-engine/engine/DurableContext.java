@@ -1,7 +1,9 @@
 package engine;
 
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -12,11 +14,21 @@ public class DurableContext {
     private final SequenceGenerator sequence;
     private final StepExecutor executor;
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CheckpointRecord restored; // latest checkpoint at startup (nullable)
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Latest persisted epoch: new steps are journaled under it
+    private int epoch;
+    // Checkpoints reached by the running code, used to recognise replayed ones
+    private int position;
 
     public DurableContext(String workflowId, DurableStore store) {
         this.workflowId = workflowId;
         this.store = store;
-        int lastSeq = store.getMaxSequenceForWorkflow(workflowId);
+        this.restored = store.getLatestCheckpoint(workflowId).orElse(null);
+        this.epoch = restored == null ? 0 : restored.getEpoch();
+        int baseSeq = restored == null ? 0 : restored.getBaseSequence();
+        int lastSeq = store.getMaxSequenceForWorkflow(workflowId, epoch, baseSeq);
         this.sequence = new SequenceGenerator(lastSeq);
 
         this.executor = new StepExecutor(store, objectMapper);
@@ -47,9 +59,89 @@ public class DurableContext {
         }
 
         // 2. Single execution authority
-        return executor.execute(workflowId, stepKey, fn);
+        int stepEpoch = beginStep();
+        try {
+            return executor.execute(workflowId, stepKey, stepEpoch, fn);
+        } finally {
+            inFlight.decrementAndGet();
+        }
     }
 
+    // Continue-as-new: persist the workflow state and start a fresh journal epoch.
+    // Replay-safe: a checkpoint the code already reached in an earlier run
+    // (position <= persisted epoch) is skipped instead of opening a new epoch.
+    // State must be non-null so a restore can tell it apart from "no checkpoint".
+    public synchronized <S> void checkpoint(S state) {
+        Objects.requireNonNull(state, "Checkpoint state must not be null");
+        requireNoStepsInFlight("checkpoint");
+
+        position++;
+        if (position <= epoch) {
+            return;
+        }
+
+        store.saveCheckpoint(workflowId, position, sequence.current(), serialize(state));
+        epoch = position;
+    }
+
+    // State of the checkpoint this context was restored from, empty if none.
+    // The running code continues from that checkpoint, not from the top, so
+    // restoring is only allowed before this run has taken a new checkpoint.
+    public synchronized <S> Optional<S> restoreCheckpoint(Class<S> type) {
+        int restoredEpoch = restored == null ? 0 : restored.getEpoch();
+        if (epoch != restoredEpoch || (position != 0 && position != restoredEpoch)) {
+            throw new IllegalStateException(
+                    "Cannot restore checkpoint after checkpointing in this run");
+        }
+        if (restored == null) {
+            return Optional.empty();
+        }
+        position = restored.getEpoch();
+        return Optional.ofNullable(deserialize(restored.getState(), type));
+    }
+
+    // Earlier epochs are never replayed again, so their records can be dropped
+    public synchronized int truncateHistory() {
+        requireNoStepsInFlight("truncate history");
+        return store.deleteHistoryBeforeEpoch(workflowId, epoch);
+    }
+
+    public synchronized int getEpoch() {
+        return epoch;
+    }
+
+    // Pairs with checkpoint(): a step either starts before it (and blocks it)
+    // or after it (and is journaled under the new epoch)
+    private synchronized int beginStep() {
+        inFlight.incrementAndGet();
+        return epoch;
+    }
+
+    private void requireNoStepsInFlight(String action) {
+        if (inFlight.get() > 0) {
+            throw new IllegalStateException(
+                    "Cannot " + action + " while " + inFlight.get() + " step(s) are running");
+        }
+    }
+
+    private String serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to serialize checkpoint state", e);
+        }
+    }
+
+    private <S> S deserialize(String json, Class<S> type) {
+        try {
+            if (json == null) {
+                return null;
+            }
+            return objectMapper.readValue(json, type);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to deserialize checkpoint state", e);
+        }
+    }
 
     @SuppressWarnings("unchecked")
     private <T> T deserialize(String json) {
@@ -6,12 +6,20 @@ public interface DurableStore {
 
     Optional<StepRecord> getStep(String workflowId, String stepKey);
 
-    void insertRunningStep(String workflowId, String stepKey);
+    void insertRunningStep(String workflowId, String stepKey, int epoch);
 
     void markStepCompleted(String workflowId, String stepKey, String output);
 
     void markStepFailed(String workflowId, String stepKey);
-    
-    int getMaxSequenceForWorkflow(String workflowId);
+
+    // Scoped to the given epoch; falls back to the checkpoint's base sequence
+    int getMaxSequenceForWorkflow(String workflowId, int epoch, int baseSequence);
+
+    Optional<CheckpointRecord> getLatestCheckpoint(String workflowId);
+
+    void saveCheckpoint(String workflowId, int epoch, int baseSequence, String state);
+
+    // Drops steps and checkpoints older than the given epoch, returns deleted step count
+    int deleteHistoryBeforeEpoch(String workflowId, int epoch);
 
 }
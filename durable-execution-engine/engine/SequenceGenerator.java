@@ -13,4 +13,8 @@ public class SequenceGenerator {
     public int next() {
         return counter.incrementAndGet();
     }
+
+    public int current() {
+        return counter.get();
+    }
 }
@@ -8,17 +8,21 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Optional;
 
-public class SqliteDurableStore implements DurableStore {
+public class SqliteDurableStore implements DurableStore, AutoCloseable {
 
     private static final String DB_URL = "jdbc:sqlite:engine.db";
     private final Connection connection;
 
     public SqliteDurableStore() {
+        this(DB_URL);
+    }
+
+    public SqliteDurableStore(String dbUrl) {
         try {
             // Force SQLite JDBC driver to load
             Class.forName("org.sqlite.JDBC");
 
-            this.connection = DriverManager.getConnection(DB_URL);
+            this.connection = DriverManager.getConnection(dbUrl);
             initializeSchema();
         } catch (Exception e) {
             throw new RuntimeException("Failed to initialize SQLite store", e);
@@ -33,9 +37,43 @@ public class SqliteDurableStore implements DurableStore {
                   step_key TEXT NOT NULL,
                   status TEXT NOT NULL,
                   output TEXT,
+                  epoch INTEGER NOT NULL DEFAULT 0,
                   PRIMARY KEY (workflow_id, step_key)
                 )
             """);
+
+            // Databases created before checkpoints existed lack the epoch column
+            if (!hasColumn(stmt, "steps", "epoch")) {
+                stmt.executeUpdate(
+                    "ALTER TABLE steps ADD COLUMN epoch INTEGER NOT NULL DEFAULT 0");
+            }
+
+            stmt.executeUpdate("""
+                CREATE INDEX IF NOT EXISTS idx_steps_epoch
+                ON steps (workflow_id, epoch)
+            """);
+
+            stmt.executeUpdate("""
+                CREATE TABLE IF NOT EXISTS checkpoints (
+                  workflow_id TEXT NOT NULL,
+                  epoch INTEGER NOT NULL,
+                  base_sequence INTEGER NOT NULL,
+                  state TEXT,
+                  PRIMARY KEY (workflow_id, epoch)
+                )
+            """);
+        }
+    }
+
+    private boolean hasColumn(Statement stmt, String table, String column)
+            throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) {
+                    return true;
+                }
+            }
+            return false;
         }
     }
 
@@ -69,16 +107,21 @@ public class SqliteDurableStore implements DurableStore {
     }
 
     @Override
-    public synchronized void insertRunningStep(String workflowId, String stepKey) {
+    public synchronized void insertRunningStep(
+            String workflowId,
+            String stepKey,
+            int epoch) {
+
         String sql = """
-            INSERT INTO steps (workflow_id, step_key, status)
-            VALUES (?, ?, ?)
+            INSERT INTO steps (workflow_id, step_key, status, epoch)
+            VALUES (?, ?, ?, ?)
         """;
 
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, workflowId);
             ps.setString(2, stepKey);
             ps.setString(3, StepStatus.RUNNING.name());
+            ps.setInt(4, epoch);
             ps.executeUpdate();
         } catch (SQLException e) {
             throw new RuntimeException("Failed to insert RUNNING step", e);
@@ -127,15 +170,22 @@ public class SqliteDurableStore implements DurableStore {
     }
 
     // 🔑 CRITICAL: sequence continuity across restarts
+    // Only the current epoch is scanned, so resume cost is bounded by the
+    // work done since the last checkpoint rather than by total history.
     @Override
-    public synchronized int getMaxSequenceForWorkflow(String workflowId) {
-        String sql = "SELECT step_key FROM steps WHERE workflow_id = ?";
+    public synchronized int getMaxSequenceForWorkflow(
+            String workflowId,
+            int epoch,
+            int baseSequence) {
+
+        String sql = "SELECT step_key FROM steps WHERE workflow_id = ? AND epoch = ?";
 
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, workflowId);
+            ps.setInt(2, epoch);
             ResultSet rs = ps.executeQuery();
 
-            int max = 0;
+            int max = baseSequence;
             while (rs.next()) {
                 String stepKey = rs.getString("step_key");
                 int idx = stepKey.lastIndexOf("-");
@@ -150,4 +200,100 @@ public class SqliteDurableStore implements DurableStore {
             throw new RuntimeException("Failed to read max sequence", e);
         }
     }
+
+    @Override
+    public synchronized Optional<CheckpointRecord> getLatestCheckpoint(String workflowId) {
+        String sql = """
+            SELECT epoch, base_sequence, state
+            FROM checkpoints
+            WHERE workflow_id = ?
+            ORDER BY epoch DESC
+            LIMIT 1
+        """;
+
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, workflowId);
+
+            ResultSet rs = ps.executeQuery();
+            if (!rs.next()) {
+                return Optional.empty();
+            }
+
+            return Optional.of(
+                new CheckpointRecord(
+                    workflowId,
+                    rs.getInt("epoch"),
+                    rs.getInt("base_sequence"),
+                    rs.getString("state"))
+            );
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to fetch checkpoint", e);
+        }
+    }
+
+    @Override
+    public synchronized void saveCheckpoint(
+            String workflowId,
+            int epoch,
+            int baseSequence,
+            String state) {
+
+        String sql = """
+            INSERT INTO checkpoints (workflow_id, epoch, base_sequence, state)
+            VALUES (?, ?, ?, ?)
+        """;
+
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, workflowId);
+            ps.setInt(2, epoch);
+            ps.setInt(3, baseSequence);
+            ps.setString(4, state);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to save checkpoint", e);
+        }
+    }
+
+    @Override
+    public synchronized int deleteHistoryBeforeEpoch(String workflowId, int epoch) {
+        String deleteSteps =
+            "DELETE FROM steps WHERE workflow_id = ? AND epoch < ?";
+        String deleteCheckpoints =
+            "DELETE FROM checkpoints WHERE workflow_id = ? AND epoch < ?";
+
+        try {
+            connection.setAutoCommit(false);
+            try (PreparedStatement steps = connection.prepareStatement(deleteSteps);
+                 PreparedStatement checkpoints = connection.prepareStatement(deleteCheckpoints)) {
+
+                steps.setString(1, workflowId);
+                steps.setInt(2, epoch);
+                int deleted = steps.executeUpdate();
+
+                checkpoints.setString(1, workflowId);
+                checkpoints.setInt(2, epoch);
+                checkpoints.executeUpdate();
+
+                connection.commit();
+                return deleted;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to delete workflow history", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to close SQLite store", e);
+        }
+    }
 }
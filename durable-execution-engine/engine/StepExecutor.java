@@ -16,10 +16,11 @@ public class StepExecutor {
 
     public <T> T execute(String workflowId,
                          String stepKey,
+                         int epoch,
                          Callable<T> fn) {
 
         // Insert RUNNING before side effect
-        store.insertRunningStep(workflowId, stepKey);
+        store.insertRunningStep(workflowId, stepKey, epoch);
 
         try {
             // Execute user logic
@@ -0,0 +1,109 @@
+package engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DurableContextTest {
+
+    private static final String WORKFLOW_ID = "wf";
+
+    @TempDir
+    Path tempDir;
+
+    private SqliteDurableStore openStore() {
+        return new SqliteDurableStore("jdbc:sqlite:" + tempDir.resolve("engine.db"));
+    }
+
+    @Test
+    void replayedCheckpointDoesNotOpenNewEpoch() {
+        DurableContext first = new DurableContext(WORKFLOW_ID, openStore());
+        first.step("a", () -> "a");
+        first.step("b", () -> "b");
+        first.checkpoint("state");
+        first.step("c", () -> "c");
+        assertEquals(1, first.getEpoch());
+
+        // Restart: the workflow code reaches the same checkpoint again
+        SqliteDurableStore store = openStore();
+        DurableContext second = new DurableContext(WORKFLOW_ID, store);
+        second.checkpoint("state");
+
+        assertEquals(1, second.getEpoch());
+        assertEquals(1, store.getLatestCheckpoint(WORKFLOW_ID).orElseThrow().getEpoch());
+
+        // Steps recorded after the only real checkpoint must survive truncation
+        second.truncateHistory();
+        assertTrue(store.getStep(WORKFLOW_ID, "c-3").isPresent());
+    }
+
+    @Test
+    void checkpointAfterRestoreOpensNextEpoch() {
+        DurableContext first = new DurableContext(WORKFLOW_ID, openStore());
+        first.step("tick", () -> 1);
+        first.checkpoint(1);
+
+        SqliteDurableStore store = openStore();
+        DurableContext second = new DurableContext(WORKFLOW_ID, store);
+        int restored = second.restoreCheckpoint(Integer.class).orElseThrow();
+        assertEquals(1, restored);
+
+        second.step("tick", () -> restored + 1);
+        second.checkpoint(restored + 1);
+
+        CheckpointRecord latest = store.getLatestCheckpoint(WORKFLOW_ID).orElseThrow();
+        assertEquals(2, latest.getEpoch());
+        assertEquals(2, latest.getBaseSequence());
+        assertEquals("2", latest.getState());
+    }
+
+    @Test
+    void restoreIsRejectedAfterCheckpointInSameRun() {
+        DurableContext first = new DurableContext(WORKFLOW_ID, openStore());
+        first.checkpoint(1);
+
+        SqliteDurableStore store = openStore();
+        DurableContext second = new DurableContext(WORKFLOW_ID, store);
+        assertEquals(1, second.restoreCheckpoint(Integer.class).orElseThrow());
+        second.checkpoint(2);
+
+        assertThrows(IllegalStateException.class,
+                () -> second.restoreCheckpoint(Integer.class));
+
+        second.checkpoint(3);
+        CheckpointRecord latest = store.getLatestCheckpoint(WORKFLOW_ID).orElseThrow();
+        assertEquals(3, latest.getEpoch());
+        assertEquals("3", latest.getState());
+    }
+
+    @Test
+    void checkpointRejectsNullState() {
+        SqliteDurableStore store = openStore();
+        DurableContext ctx = new DurableContext(WORKFLOW_ID, store);
+
+        assertThrows(NullPointerException.class, () -> ctx.checkpoint(null));
+
+        assertEquals(0, ctx.getEpoch());
+        assertTrue(store.getLatestCheckpoint(WORKFLOW_ID).isEmpty());
+    }
+
+    @Test
+    void checkpointIsRejectedWhileStepIsRunning() {
+        DurableContext ctx = new DurableContext(WORKFLOW_ID, openStore());
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> ctx.step("nested", () -> {
+                    ctx.checkpoint("state");
+                    return null;
+                }));
+
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertEquals(0, ctx.getEpoch());
+    }
+}
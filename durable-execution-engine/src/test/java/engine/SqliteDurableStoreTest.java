@@ -0,0 +1,90 @@
+package engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SqliteDurableStoreTest {
+
+    private static final String WORKFLOW_ID = "wf";
+
+    @TempDir
+    Path tempDir;
+
+    private String dbUrl() {
+        return "jdbc:sqlite:" + tempDir.resolve("engine.db");
+    }
+
+    @Test
+    void addsEpochColumnToExistingDatabase() throws Exception {
+        try (Connection conn = DriverManager.getConnection(dbUrl());
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("""
+                CREATE TABLE steps (
+                  workflow_id TEXT NOT NULL,
+                  step_key TEXT NOT NULL,
+                  status TEXT NOT NULL,
+                  output TEXT,
+                  PRIMARY KEY (workflow_id, step_key)
+                )
+            """);
+            stmt.executeUpdate("""
+                INSERT INTO steps (workflow_id, step_key, status, output)
+                VALUES ('wf', 'legacy-4', 'COMPLETED', '"done"')
+            """);
+        }
+
+        SqliteDurableStore store = new SqliteDurableStore(dbUrl());
+
+        // Legacy rows belong to epoch 0 and still restore the sequence
+        assertEquals(4, store.getMaxSequenceForWorkflow(WORKFLOW_ID, 0, 0));
+        assertEquals(StepStatus.COMPLETED,
+                store.getStep(WORKFLOW_ID, "legacy-4").orElseThrow().getStatus());
+
+        store.insertRunningStep(WORKFLOW_ID, "next-5", 0);
+        assertEquals(5, store.getMaxSequenceForWorkflow(WORKFLOW_ID, 0, 0));
+    }
+
+    @Test
+    void maxSequenceFallsBackToBaseSequenceForEmptyEpoch() {
+        SqliteDurableStore store = new SqliteDurableStore(dbUrl());
+
+        store.insertRunningStep(WORKFLOW_ID, "a-1", 0);
+        store.insertRunningStep(WORKFLOW_ID, "b-2", 0);
+        store.saveCheckpoint(WORKFLOW_ID, 1, 2, "{}");
+
+        assertEquals(2, store.getMaxSequenceForWorkflow(WORKFLOW_ID, 1, 2));
+
+        store.insertRunningStep(WORKFLOW_ID, "c-3", 1);
+        assertEquals(3, store.getMaxSequenceForWorkflow(WORKFLOW_ID, 1, 2));
+    }
+
+    @Test
+    void deleteHistoryKeepsLatestCheckpointAndCurrentEpoch() {
+        SqliteDurableStore store = new SqliteDurableStore(dbUrl());
+
+        store.insertRunningStep(WORKFLOW_ID, "a-1", 0);
+        store.saveCheckpoint(WORKFLOW_ID, 1, 1, "\"first\"");
+        store.insertRunningStep(WORKFLOW_ID, "b-2", 1);
+        store.saveCheckpoint(WORKFLOW_ID, 2, 2, "\"second\"");
+        store.insertRunningStep(WORKFLOW_ID, "c-3", 2);
+
+        assertEquals(2, store.deleteHistoryBeforeEpoch(WORKFLOW_ID, 2));
+
+        assertFalse(store.getStep(WORKFLOW_ID, "a-1").isPresent());
+        assertFalse(store.getStep(WORKFLOW_ID, "b-2").isPresent());
+        assertTrue(store.getStep(WORKFLOW_ID, "c-3").isPresent());
+
+        CheckpointRecord latest = store.getLatestCheckpoint(WORKFLOW_ID).orElseThrow();
+        assertEquals(2, latest.getEpoch());
+        assertEquals("\"second\"", latest.getState());
+    }
+}